@@ -11,8 +11,13 @@ import jakarta.validation.Valid;
 import org.example.mercadolibre.dto.DnaRequest;
 import org.example.mercadolibre.dto.StatsResponse;
 import org.example.mercadolibre.service.MutantService;
+import org.example.mercadolibre.service.StatsCacheService;
+import org.example.mercadolibre.service.StatsSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,6 +29,9 @@ public class MutantController {
     @Autowired
     private MutantService mutantService;
 
+    @Autowired
+    private StatsCacheService statsCacheService;
+
     @GetMapping("/")
     @Operation(summary = "Página de inicio", description = "Redirige a la documentación de la API")
     public ResponseEntity<String> home() {
@@ -107,13 +115,30 @@ public class MutantController {
 
     @GetMapping("/stats")
     @Operation(summary = "Obtener estadísticas",
-            description = "Devuelve estadísticas de las verificaciones de ADN")
-    @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente",
-            content = @Content(mediaType = "application/json",
-                    schema = @Schema(implementation = StatsResponse.class),
-                    examples = @ExampleObject(value = "{\n  \"count_mutant_dna\": 40,\n  \"count_human_dna\": 100,\n  \"ratio\": 0.4\n}")))
-    public ResponseEntity<StatsResponse> getStats() {
-        StatsResponse stats = mutantService.getStats();
-        return ResponseEntity.ok(stats);
+            description = "Devuelve estadísticas de las verificaciones de ADN. " +
+                    "Soporta If-None-Match: responde 304 si las estadísticas no cambiaron")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StatsResponse.class),
+                            examples = @ExampleObject(value = "{\n  \"count_mutant_dna\": 40,\n  \"count_human_dna\": 100,\n  \"ratio\": 0.4\n}"))),
+            @ApiResponse(responseCode = "304", description = "Las estadísticas no cambiaron desde el ETag indicado")
+    })
+    public ResponseEntity<String> getStats(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        StatsSnapshot snapshot = statsCacheService.getSnapshot();
+
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getBody());
     }
 }
@@ -0,0 +1,54 @@
+package org.example.mercadolibre.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Totales de ADN eliminados por la compactación, para que /stats siga siendo exacto.
+ * Solo se accede por JDBC (DnaRetentionRepository y DnaRepository); la entidad existe
+ * para que spring.jpa.hibernate.ddl-auto=update cree la tabla dna_stats_counters.
+ */
+@Entity
+@Table(name = "dna_stats_counters")
+public class DnaStatsCounter {
+
+    // Única fila de la tabla
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "evicted_mutant", nullable = false)
+    private long evictedMutant;
+
+    @Column(name = "evicted_human", nullable = false)
+    private long evictedHuman;
+
+    public DnaStatsCounter() {
+        this.id = SINGLETON_ID;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getEvictedMutant() {
+        return evictedMutant;
+    }
+
+    public void setEvictedMutant(long evictedMutant) {
+        this.evictedMutant = evictedMutant;
+    }
+
+    public long getEvictedHuman() {
+        return evictedHuman;
+    }
+
+    public void setEvictedHuman(long evictedHuman) {
+        this.evictedHuman = evictedHuman;
+    }
+}
@@ -1,8 +1,10 @@
 package org.example.mercadolibre.repository;
 
 import org.example.mercadolibre.entity.Dna;
+import org.example.mercadolibre.entity.DnaStatsCounter;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,6 +18,12 @@ public interface DnaRepository extends JpaRepository<Dna, Long> {
     // Contar mutantes
     long countByIsMutant(boolean isMutant);
 
+    // Contar mutantes incluyendo los eliminados por la compactación (una sola sentencia, consistente)
+    @Query(value = "SELECT (SELECT COUNT(*) FROM dna_records WHERE is_mutant = :isMutant) + " +
+            "COALESCE((SELECT CASE WHEN :isMutant THEN evicted_mutant ELSE evicted_human END " +
+            "FROM dna_stats_counters WHERE id = " + DnaStatsCounter.SINGLETON_ID + "), 0)", nativeQuery = true)
+    long countTotalByIsMutant(@Param("isMutant") boolean isMutant);
+
     // Verificar si existe un ADN por su hash
     boolean existsByDnaHash(String dnaHash);
 }
@@ -0,0 +1,193 @@
+package org.example.mercadolibre.repository;
+
+import org.example.mercadolibre.entity.DnaStatsCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Operaciones JDBC por lotes de la compactación de dna_records.
+ * Descartar el ADN original conserva hash y veredicto; eliminar filas completas
+ * acumula sus veredictos en dna_stats_counters en la misma transacción.
+ */
+@Repository
+public class DnaRetentionRepository {
+
+    private static final RowMapper<StoredSequence> SEQUENCE_MAPPER = (rs, rowNum) ->
+            new StoredSequence(rs.getLong("id"), rs.getLong("sequence_length"));
+
+    private static final RowMapper<StoredRow> ROW_MAPPER = (rs, rowNum) ->
+            new StoredRow(rs.getLong("id"), rs.getBoolean("is_mutant"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Cantidad de filas y caracteres de ADN almacenados
+     */
+    public Usage getUsage() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) AS row_count, COALESCE(SUM(LENGTH(dna_sequence)), 0) AS sequence_chars FROM dna_records",
+                (rs, rowNum) -> new Usage(rs.getLong("row_count"), rs.getLong("sequence_chars")));
+    }
+
+    /**
+     * ADN original aún almacenado y creado antes del corte, del más antiguo al más nuevo
+     */
+    public List<StoredSequence> findSequencesCreatedBefore(Timestamp cutoff, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, LENGTH(dna_sequence) AS sequence_length FROM dna_records " +
+                "WHERE dna_sequence IS NOT NULL AND created_at < ? ORDER BY id LIMIT ?",
+                SEQUENCE_MAPPER, cutoff, limit);
+    }
+
+    /**
+     * Filas más antiguas, para aplicar el máximo de filas
+     */
+    public List<StoredRow> findOldestRows(int limit) {
+        return jdbcTemplate.query("SELECT id, is_mutant FROM dna_records ORDER BY id LIMIT ?", ROW_MAPPER, limit);
+    }
+
+    /**
+     * Filas creadas antes del corte, de la más antigua a la más nueva
+     */
+    public List<StoredRow> findRowsCreatedBefore(Timestamp cutoff, int limit) {
+        return jdbcTemplate.query("SELECT id, is_mutant FROM dna_records WHERE created_at < ? ORDER BY id LIMIT ?",
+                ROW_MAPPER, cutoff, limit);
+    }
+
+    /**
+     * Descarta el ADN original de las filas; el hash y el veredicto se conservan
+     * @return cantidad de filas actualizadas
+     */
+    @Transactional
+    public int clearSequences(List<StoredSequence> sequences) {
+        List<Object[]> args = sequences.stream()
+                .map(sequence -> new Object[]{sequence.getId()})
+                .collect(Collectors.toList());
+        int[] updated = jdbcTemplate.batchUpdate("UPDATE dna_records SET dna_sequence = NULL WHERE id = ?", args);
+
+        int total = 0;
+        for (int count : updated) {
+            if (affected(count)) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Elimina las filas y suma sus veredictos a dna_stats_counters en la misma transacción,
+     * de modo que los totales de /stats no cambian
+     * @return cantidad de filas eliminadas
+     */
+    @Transactional
+    public int deleteAndFold(List<StoredRow> rows) {
+        List<Object[]> args = rows.stream()
+                .map(row -> new Object[]{row.getId()})
+                .collect(Collectors.toList());
+        // Un solo lote: deleted[i] corresponde a rows.get(i)
+        int[] deleted = jdbcTemplate.batchUpdate("DELETE FROM dna_records WHERE id = ?", args);
+
+        // Solo se acumulan las filas efectivamente eliminadas
+        long mutants = 0;
+        long humans = 0;
+        for (int i = 0; i < deleted.length; i++) {
+            if (affected(deleted[i])) {
+                if (rows.get(i).isMutant()) {
+                    mutants++;
+                } else {
+                    humans++;
+                }
+            }
+        }
+
+        int updated = jdbcTemplate.update(
+                "UPDATE dna_stats_counters SET evicted_mutant = evicted_mutant + ?, evicted_human = evicted_human + ? WHERE id = ?",
+                mutants, humans, DnaStatsCounter.SINGLETON_ID);
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO dna_stats_counters (id, evicted_mutant, evicted_human) VALUES (?, ?, ?)",
+                    DnaStatsCounter.SINGLETON_ID, mutants, humans);
+        }
+
+        return (int) (mutants + humans);
+    }
+
+    // Algunos drivers informan SUCCESS_NO_INFO en lugar de la cantidad de filas
+    private boolean affected(int count) {
+        return count > 0 || count == Statement.SUCCESS_NO_INFO;
+    }
+
+    /**
+     * ADN original candidato a descartarse
+     */
+    public static class StoredSequence {
+
+        private final long id;
+        private final long length;
+
+        public StoredSequence(long id, long length) {
+            this.id = id;
+            this.length = length;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getLength() {
+            return length;
+        }
+    }
+
+    /**
+     * Fila candidata a eliminarse
+     */
+    public static class StoredRow {
+
+        private final long id;
+        private final boolean mutant;
+
+        public StoredRow(long id, boolean mutant) {
+            this.id = id;
+            this.mutant = mutant;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public boolean isMutant() {
+            return mutant;
+        }
+    }
+
+    /**
+     * Ocupación actual de dna_records
+     */
+    public static class Usage {
+
+        private final long rows;
+        private final long sequenceChars;
+
+        public Usage(long rows, long sequenceChars) {
+            this.rows = rows;
+            this.sequenceChars = sequenceChars;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getSequenceChars() {
+            return sequenceChars;
+        }
+    }
+}
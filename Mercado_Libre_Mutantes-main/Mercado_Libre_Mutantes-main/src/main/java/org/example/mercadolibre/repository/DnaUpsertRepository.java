@@ -0,0 +1,79 @@
+package org.example.mercadolibre.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Acceso JDBC directo a dna_records para el camino caliente de POST /mutant.
+ * Evita el contexto de persistencia de Hibernate: un único MERGE inserta el ADN
+ * si su hash no existe. Las consultas administrativas siguen en {@link DnaRepository}.
+ */
+@Repository
+public class DnaUpsertRepository {
+
+    private static final String SELECT_VERDICT =
+            "SELECT is_mutant FROM dna_records WHERE dna_hash = ?";
+
+    // Sintaxis MERGE ... USING de H2 (la única base configurada); no modifica filas existentes
+    private static final String H2_MERGE =
+            "MERGE INTO dna_records t " +
+            "USING (VALUES (CAST(? AS VARCHAR(64)), CAST(? AS BOOLEAN), CAST(? AS TIMESTAMP), CAST(? AS CLOB))) " +
+            "s(dna_hash, is_mutant, created_at, dna_sequence) " +
+            "ON t.dna_hash = s.dna_hash " +
+            "WHEN NOT MATCHED THEN INSERT (dna_hash, is_mutant, created_at, dna_sequence) " +
+            "VALUES (s.dna_hash, s.is_mutant, s.created_at, s.dna_sequence)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserta el ADN si su hash no existe. Una fila nueva cuesta un solo MERGE;
+     * si el hash ya estaba almacenado se lee además su veredicto.
+     * @param dnaHash hash del ADN
+     * @param isMutant veredicto calculado
+     * @param dnaSequence ADN original
+     * @return si la fila es nueva y el veredicto que quedó almacenado
+     */
+    public UpsertResult insertIfAbsent(String dnaHash, boolean isMutant, String dnaSequence) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            if (jdbcTemplate.update(H2_MERGE, dnaHash, isMutant, createdAt, dnaSequence) > 0) {
+                return new UpsertResult(true, isMutant);
+            }
+        } catch (DuplicateKeyException e) {
+            // Otro request insertó el mismo hash entre la búsqueda y la inserción del MERGE
+        }
+
+        List<Boolean> stored = jdbcTemplate.queryForList(SELECT_VERDICT, Boolean.class, dnaHash);
+        return new UpsertResult(false, stored.isEmpty() ? isMutant : stored.get(0));
+    }
+
+    /**
+     * Resultado de {@link #insertIfAbsent}: indica si la fila es nueva
+     * y cuál es el veredicto almacenado.
+     */
+    public static class UpsertResult {
+
+        private final boolean inserted;
+        private final boolean mutant;
+
+        public UpsertResult(boolean inserted, boolean mutant) {
+            this.inserted = inserted;
+            this.mutant = mutant;
+        }
+
+        public boolean isInserted() {
+            return inserted;
+        }
+
+        public boolean isMutant() {
+            return mutant;
+        }
+    }
+}
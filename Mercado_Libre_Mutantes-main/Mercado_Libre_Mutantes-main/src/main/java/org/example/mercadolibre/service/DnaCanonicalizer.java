@@ -0,0 +1,80 @@
+package org.example.mercadolibre.service;
+
+/**
+ * Calcula una clave canónica del ADN común a sus 8 simetrías (rotaciones,
+ * espejos y transposiciones). El veredicto de isMutant no cambia entre ellas,
+ * porque las direcciones horizontal, vertical y diagonales se corresponden entre sí.
+ * Las simetrías se recorren como mapeos de índices, sin construir las 8 matrices.
+ */
+public final class DnaCanonicalizer {
+
+    private static final int SYMMETRIES = 8;
+
+    private DnaCanonicalizer() {
+    }
+
+    /**
+     * Devuelve la menor lectura fila por fila (orden lexicográfico) entre las 8 simetrías
+     * @param dna Array de Strings que representa cada fila de una tabla de NxN
+     * @return clave canónica, o las filas concatenadas si la matriz no es cuadrada
+     */
+    public static String canonicalKey(String[] dna) {
+        int n = dna.length;
+        for (String row : dna) {
+            if (row == null || row.length() != n) {
+                // Matriz inválida: isMutant se encarga de rechazarla
+                return String.join("", dna);
+            }
+        }
+
+        int best = 0;
+        for (int t = 1; t < SYMMETRIES; t++) {
+            if (compare(dna, n, t, best) < 0) {
+                best = t;
+            }
+        }
+
+        char[] key = new char[n * n];
+        int pos = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                key[pos++] = charAt(dna, n, best, i, j);
+            }
+        }
+        return new String(key);
+    }
+
+    /**
+     * Compara dos simetrías celda por celda, cortando en la primera diferencia
+     */
+    private static int compare(String[] dna, int n, int a, int b) {
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                char ca = charAt(dna, n, a, i, j);
+                char cb = charAt(dna, n, b, i, j);
+                if (ca != cb) {
+                    return ca - cb;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Lee la celda (i, j) de la matriz transformada por la simetría indicada
+     */
+    private static char charAt(String[] dna, int n, int symmetry, int i, int j) {
+        int last = n - 1;
+        switch (symmetry) {
+            case 0: return dna[i].charAt(j);                 // identidad
+            case 1: return dna[j].charAt(i);                 // transpuesta
+            case 2: return dna[i].charAt(last - j);          // espejo horizontal
+            case 3: return dna[last - i].charAt(j);          // espejo vertical
+            case 4: return dna[last - i].charAt(last - j);   // rotación 180°
+            case 5: return dna[last - j].charAt(i);          // rotación 90°
+            case 6: return dna[j].charAt(last - i);          // rotación 270°
+            case 7: return dna[last - j].charAt(last - i);   // anti-transpuesta
+            default: throw new IllegalArgumentException("Simetría inválida: " + symmetry);
+        }
+    }
+}
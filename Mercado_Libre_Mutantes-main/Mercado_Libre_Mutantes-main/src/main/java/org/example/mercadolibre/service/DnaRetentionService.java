@@ -0,0 +1,174 @@
+package org.example.mercadolibre.service;
+
+import org.example.mercadolibre.repository.DnaRetentionRepository;
+import org.example.mercadolibre.repository.DnaRetentionRepository.StoredRow;
+import org.example.mercadolibre.repository.DnaRetentionRepository.StoredSequence;
+import org.example.mercadolibre.repository.DnaRetentionRepository.Usage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Compacta dna_records en segundo plano para reducir la memoria de la base H2.
+ * Por defecto solo descarta el ADN original (la parte que crece con el tamaño de la
+ * matriz) por TTL o por espacio estimado; hash y veredicto se conservan, así que las
+ * filas siguen creciendo con cada ADN distinto y max-bytes por sí solo no acota la memoria.
+ * Para acotar las filas se activa dna.retention.max-rows o dna.retention.row-ttl-seconds:
+ * las filas eliminadas se suman a dna_stats_counters y /stats conserva sus totales, pero
+ * un ADN eliminado que se vuelve a enviar (y ya no está en {@link VerdictCache}) se cuenta de nuevo.
+ */
+@Service
+public class DnaRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DnaRetentionService.class);
+
+    // Estimación del espacio de una fila sin ADN (hash, veredicto, fecha e índices)
+    static final long ROW_OVERHEAD_BYTES = 200;
+
+    @Autowired
+    private DnaRetentionRepository retentionRepository;
+
+    @Value("${dna.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dna.retention.batch-size:1000}")
+    private int batchSize;
+
+    // 0 desactiva cada límite
+    @Value("${dna.retention.max-bytes:0}")
+    private long maxBytes;
+
+    @Value("${dna.retention.sequence-ttl-seconds:0}")
+    private long sequenceTtlSeconds;
+
+    @Value("${dna.retention.max-rows:0}")
+    private long maxRows;
+
+    @Value("${dna.retention.row-ttl-seconds:0}")
+    private long rowTtlSeconds;
+
+    @Scheduled(initialDelayString = "${dna.retention.interval-ms:60000}",
+            fixedDelayString = "${dna.retention.interval-ms:60000}")
+    public void scheduledCompaction() {
+        if (!enabled) {
+            return;
+        }
+        Result result = compact();
+        if (result.getRowsDeleted() > 0 || result.getSequencesCleared() > 0) {
+            log.info("Compactación de dna_records: {} filas eliminadas, {} secuencias descartadas",
+                    result.getRowsDeleted(), result.getSequencesCleared());
+        }
+    }
+
+    /**
+     * Aplica los límites configurados por lotes, del ADN más antiguo al más nuevo
+     * @return filas eliminadas y secuencias descartadas
+     */
+    public synchronized Result compact() {
+        int deleted = 0;
+        int cleared = 0;
+        LocalDateTime now = LocalDateTime.now();
+
+        // 1. Filas que superaron su TTL
+        if (rowTtlSeconds > 0) {
+            Timestamp cutoff = Timestamp.valueOf(now.minusSeconds(rowTtlSeconds));
+            List<StoredRow> rows;
+            while (!(rows = retentionRepository.findRowsCreatedBefore(cutoff, batchSize)).isEmpty()) {
+                int batch = retentionRepository.deleteAndFold(rows);
+                if (batch == 0) {
+                    break;
+                }
+                deleted += batch;
+            }
+        }
+
+        // 2. Filas por encima del máximo, de la más antigua a la más nueva
+        if (maxRows > 0) {
+            long excess = retentionRepository.getUsage().getRows() - maxRows;
+            while (excess > 0) {
+                List<StoredRow> rows = retentionRepository.findOldestRows((int) Math.min(batchSize, excess));
+                int batch = rows.isEmpty() ? 0 : retentionRepository.deleteAndFold(rows);
+                if (batch == 0) {
+                    break;
+                }
+                deleted += batch;
+                excess -= batch;
+            }
+        }
+
+        // 3. ADN original que superó su TTL
+        if (sequenceTtlSeconds > 0) {
+            Timestamp cutoff = Timestamp.valueOf(now.minusSeconds(sequenceTtlSeconds));
+            List<StoredSequence> sequences;
+            while (!(sequences = retentionRepository.findSequencesCreatedBefore(cutoff, batchSize)).isEmpty()) {
+                int batch = retentionRepository.clearSequences(sequences);
+                if (batch == 0) {
+                    break;
+                }
+                cleared += batch;
+            }
+        }
+
+        // 4. Espacio estimado por encima del máximo
+        if (maxBytes > 0) {
+            Timestamp cutoff = Timestamp.valueOf(now);
+            long bytes = estimateBytes(retentionRepository.getUsage());
+            while (bytes > maxBytes) {
+                List<StoredSequence> sequences = retentionRepository.findSequencesCreatedBefore(cutoff, batchSize);
+                int batch = sequences.isEmpty() ? 0 : retentionRepository.clearSequences(sequences);
+                if (batch == 0) {
+                    // Solo quedan hash y veredicto; únicamente max-rows o row-ttl-seconds eliminan filas
+                    log.warn("dna_records ocupa unos {} bytes sin ADN original, por encima de dna.retention.max-bytes={}; " +
+                            "configure dna.retention.max-rows para acotar las filas", bytes, maxBytes);
+                    break;
+                }
+                cleared += batch;
+                bytes -= sequenceBytes(sequences);
+            }
+        }
+
+        return new Result(deleted, cleared);
+    }
+
+    private long estimateBytes(Usage usage) {
+        // Los String de Java ocupan 2 bytes por carácter
+        return usage.getRows() * ROW_OVERHEAD_BYTES + usage.getSequenceChars() * 2;
+    }
+
+    private long sequenceBytes(List<StoredSequence> sequences) {
+        long chars = 0;
+        for (StoredSequence sequence : sequences) {
+            chars += sequence.getLength();
+        }
+        return chars * 2;
+    }
+
+    /**
+     * Resultado de una compactación
+     */
+    public static class Result {
+
+        private final int rowsDeleted;
+        private final int sequencesCleared;
+
+        public Result(int rowsDeleted, int sequencesCleared) {
+            this.rowsDeleted = rowsDeleted;
+            this.sequencesCleared = sequencesCleared;
+        }
+
+        public int getRowsDeleted() {
+            return rowsDeleted;
+        }
+
+        public int getSequencesCleared() {
+            return sequencesCleared;
+        }
+    }
+}
@@ -1,21 +1,42 @@
 package org.example.mercadolibre.service;
 
-import org.example.mercadolibre.entity.Dna;
 import org.example.mercadolibre.repository.DnaRepository;
+import org.example.mercadolibre.repository.DnaUpsertRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class MutantService {
 
+    private static final Logger log = LoggerFactory.getLogger(MutantService.class);
+
     @Autowired
     private DnaRepository dnaRepository;
 
+    @Autowired
+    private DnaUpsertRepository dnaUpsertRepository;
+
+    @Autowired
+    private VerdictCache verdictCache;
+
+    // Contador monótono de inserciones: versiona las estadísticas de /stats
+    private final AtomicLong statsVersion = new AtomicLong();
+
+    // Aciertos y fallos de la cache de veredictos por clave canónica
+    private final AtomicLong verdictHits = new AtomicLong();
+    private final AtomicLong verdictMisses = new AtomicLong();
+
+    // Total informado en el último log de la tasa de aciertos
+    private long lastLoggedAnalyses;
+
     /**
      * Verifica si un ADN pertenece a un mutante
      * @param dna Array de Strings que representa cada fila de una tabla de NxN
@@ -27,15 +48,30 @@ public class MutantService {
             return false;
         }
 
-        int n = dna.length;
+        validateDna(dna);
+        return hasMutantSequences(dna);
+    }
 
-        // Validar que sea una matriz cuadrada y contenga solo caracteres válidos
+    /**
+     * Valida que el ADN sea una matriz cuadrada con solo caracteres válidos
+     */
+    private void validateDna(String[] dna) {
+        if (dna == null) {
+            throw new IllegalArgumentException("ADN inválido: debe ser una matriz NxN con solo caracteres A, T, C, G");
+        }
+        int n = dna.length;
         for (String row : dna) {
             if (row == null || row.length() != n || !row.matches("[ATCG]+")) {
                 throw new IllegalArgumentException("ADN inválido: debe ser una matriz NxN con solo caracteres A, T, C, G");
             }
         }
+    }
 
+    /**
+     * Busca más de una secuencia de 4 letras iguales en un ADN ya validado
+     */
+    boolean hasMutantSequences(String[] dna) {
+        int n = dna.length;
         int sequencesFound = 0;
 
         // 1. Buscar secuencias horizontales
@@ -108,41 +144,93 @@ public class MutantService {
      * @return true si es mutante, false si no
      */
     public boolean analyzeDna(String[] dna) {
-        // Generar hash único del ADN
+        // Validar antes de calcular el hash: un ADN inválido no llega a la cache ni a la base
+        validateDna(dna);
+
+        // Generar hash de la clave canónica: las simetrías del mismo ADN comparten veredicto
         String dnaHash = generateHash(dna);
 
-        // Verificar si ya existe en la base de datos
-        Optional<Dna> existingDna = dnaRepository.findByDnaHash(dnaHash);
-        if (existingDna.isPresent()) {
-            return existingDna.get().isMutant();
+        // Acierto en cache: no se analiza el ADN ni se accede a la base
+        Boolean cachedVerdict = verdictCache.get(dnaHash);
+        if (cachedVerdict != null) {
+            verdictHits.incrementAndGet();
+            return cachedVerdict;
         }
+        verdictMisses.incrementAndGet();
 
-        // Analizar el ADN
-        boolean isMutant = isMutant(dna);
+        // Analizar el ADN antes de tocar la base: es O(n²) y más barato que una consulta previa
+        boolean isMutant = hasMutantSequences(dna);
 
-        // Guardar en la base de datos
-        Dna dnaEntity = new Dna(dnaHash, isMutant, Arrays.toString(dna));
-        dnaRepository.save(dnaEntity);
+        // Guardar con un solo MERGE (JDBC directo, sin cargar la entidad); si ya existía, prevalece el veredicto almacenado
+        DnaUpsertRepository.UpsertResult result =
+                dnaUpsertRepository.insertIfAbsent(dnaHash, isMutant, Arrays.toString(dna));
+        verdictCache.put(dnaHash, result.isMutant());
+        if (result.isInserted()) {
+            statsVersion.incrementAndGet();
+        }
 
-        return isMutant;
+        return result.isMutant();
     }
 
     /**
-     * Obtiene las estadísticas de verificaciones de ADN
+     * Obtiene las estadísticas de verificaciones de ADN.
+     * Cada registro corresponde a una clave canónica, por lo que un ADN y sus
+     * simetrías (rotaciones, espejos y transposiciones) se cuentan una sola vez.
+     * Si la retención elimina filas (dna.retention.max-rows / row-ttl-seconds), un ADN
+     * eliminado que se vuelve a enviar y ya no está en la cache de veredictos se cuenta de nuevo.
      */
     public org.example.mercadolibre.dto.StatsResponse getStats() {
-        long countMutant = dnaRepository.countByIsMutant(true);
-        long countHuman = dnaRepository.countByIsMutant(false);
+        // Incluye los registros eliminados por la compactación, acumulados en dna_stats_counters
+        long countMutant = dnaRepository.countTotalByIsMutant(true);
+        long countHuman = dnaRepository.countTotalByIsMutant(false);
 
         return new org.example.mercadolibre.dto.StatsResponse(countMutant, countHuman);
     }
 
     /**
-     * Genera un hash SHA-256 del ADN para identificarlo de forma única
+     * Versión actual de las estadísticas; solo cambia cuando se inserta un ADN nuevo
+     */
+    public long getStatsVersion() {
+        return statsVersion.get();
+    }
+
+    /**
+     * Cantidad de análisis resueltos desde la cache, sin ejecutar el análisis
+     */
+    public long getVerdictHits() {
+        return verdictHits.get();
+    }
+
+    /**
+     * Cantidad de análisis que requirieron ejecutar isMutant
+     */
+    public long getVerdictMisses() {
+        return verdictMisses.get();
+    }
+
+    /**
+     * Informa periódicamente la tasa de aciertos de la cache de veredictos
+     */
+    @Scheduled(initialDelayString = "${dna.metrics.log-interval-ms:60000}",
+            fixedDelayString = "${dna.metrics.log-interval-ms:60000}")
+    public synchronized void logVerdictHitRate() {
+        long hits = verdictHits.get();
+        long misses = verdictMisses.get();
+        long total = hits + misses;
+        if (total == lastLoggedAnalyses) {
+            return;
+        }
+        lastLoggedAnalyses = total;
+        log.info("Cache de veredictos: {} aciertos, {} análisis, tasa de aciertos {}%",
+                hits, misses, String.format("%.1f", 100.0 * hits / total));
+    }
+
+    /**
+     * Genera un hash SHA-256 de la clave canónica del ADN, igual para sus 8 simetrías
      */
     private String generateHash(String[] dna) {
         try {
-            String dnaString = String.join("", dna);
+            String dnaString = DnaCanonicalizer.canonicalKey(dna);
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(dnaString.getBytes());
             StringBuilder hexString = new StringBuilder();
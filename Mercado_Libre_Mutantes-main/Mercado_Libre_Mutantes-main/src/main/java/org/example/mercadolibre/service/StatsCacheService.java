@@ -0,0 +1,71 @@
+package org.example.mercadolibre.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.mercadolibre.dto.StatsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class StatsCacheService {
+
+    // Identifica el arranque para que un ETag no se repita tras reiniciar el contador
+    private static final String BOOT_ID = Long.toHexString(System.currentTimeMillis());
+
+    @Autowired
+    private MutantService mutantService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Tiempo en que se sirve el snapshot aunque haya inserciones nuevas (0 = siempre exacto)
+    @Value("${stats.cache.ttl-ms:0}")
+    private long ttlMillis;
+
+    private volatile StatsSnapshot snapshot;
+
+    /**
+     * Obtiene las estadísticas serializadas, recalculándolas solo si cambió
+     * la versión y el snapshot actual superó el TTL
+     */
+    public StatsSnapshot getSnapshot() {
+        StatsSnapshot current = snapshot;
+        if (isFresh(current, mutantService.getStatsVersion())) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            long version = mutantService.getStatsVersion();
+            if (isFresh(current, version)) {
+                return current;
+            }
+
+            StatsResponse stats = mutantService.getStats();
+            current = new StatsSnapshot(version, buildEtag(version), serialize(stats), System.currentTimeMillis());
+            snapshot = current;
+            return current;
+        }
+    }
+
+    private boolean isFresh(StatsSnapshot current, long version) {
+        if (current == null) {
+            return false;
+        }
+        return current.getVersion() == version
+                || System.currentTimeMillis() - current.getCreatedAtMillis() < ttlMillis;
+    }
+
+    private String buildEtag(long version) {
+        return "\"" + BOOT_ID + "-" + version + "\"";
+    }
+
+    private String serialize(StatsResponse stats) {
+        try {
+            return objectMapper.writeValueAsString(stats);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error al serializar las estadísticas", e);
+        }
+    }
+}
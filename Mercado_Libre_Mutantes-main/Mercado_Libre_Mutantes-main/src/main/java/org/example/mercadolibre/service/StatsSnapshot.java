@@ -0,0 +1,56 @@
+package org.example.mercadolibre.service;
+
+/**
+ * Respuesta de /stats ya serializada, junto con su versión y ETag
+ */
+public class StatsSnapshot {
+
+    private final long version;
+    private final String etag;
+    private final String body;
+    private final long createdAtMillis;
+
+    public StatsSnapshot(long version, String etag, String body, long createdAtMillis) {
+        this.version = version;
+        this.etag = etag;
+        this.body = body;
+        this.createdAtMillis = createdAtMillis;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    /**
+     * Verifica si el valor de If-None-Match corresponde a esta versión
+     * @param ifNoneMatch valor del header (puede ser null, "*" o una lista de ETags)
+     * @return true si el cliente ya tiene esta versión
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
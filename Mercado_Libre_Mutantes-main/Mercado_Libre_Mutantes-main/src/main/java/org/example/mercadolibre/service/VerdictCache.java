@@ -0,0 +1,42 @@
+package org.example.mercadolibre.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache en memoria de veredictos por hash de ADN, con desalojo LRU.
+ * Un acierto evita tanto el análisis como el acceso a la base.
+ */
+@Component
+public class VerdictCache {
+
+    private final Map<String, Boolean> verdicts;
+
+    public VerdictCache(@Value("${dna.verdict-cache.max-entries:100000}") int maxEntries) {
+        this.verdicts = Collections.synchronizedMap(new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * @return el veredicto almacenado, o null si el hash no está en cache
+     */
+    public Boolean get(String dnaHash) {
+        return verdicts.get(dnaHash);
+    }
+
+    public void put(String dnaHash, boolean isMutant) {
+        verdicts.put(dnaHash, isMutant);
+    }
+
+    public int size() {
+        return verdicts.size();
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.mercadolibre.controller;
+
+import org.example.mercadolibre.dto.StatsResponse;
+import org.example.mercadolibre.service.MutantService;
+import org.example.mercadolibre.service.StatsCacheService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MutantController.class)
+@Import(StatsCacheService.class)
+class MutantControllerStatsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MutantService mutantService;
+
+    @Test
+    void testGetStats_ShouldRevalidateWithETag() throws Exception {
+        // Arrange
+        when(mutantService.getStatsVersion()).thenReturn(1L);
+        when(mutantService.getStats()).thenReturn(new StatsResponse(40L, 100L), new StatsResponse(41L, 100L));
+
+        // 1. Primera consulta: 200 con ETag, no-cache y JSON
+        String etag = mockMvc.perform(get("/stats"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.count_mutant_dna").value(40))
+                .andExpect(jsonPath("$.count_human_dna").value(100))
+                .andExpect(jsonPath("$.ratio").value(0.4))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 2. Mismo ETag sin cambios: 304 sin cuerpo
+        mockMvc.perform(get("/stats").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        // 3. Nueva versión: 200 con otro ETag y las estadísticas recalculadas
+        when(mutantService.getStatsVersion()).thenReturn(2L);
+        String newEtag = mockMvc.perform(get("/stats").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count_mutant_dna").value(41))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(etag, newEtag);
+        verify(mutantService, times(2)).getStats();
+    }
+}
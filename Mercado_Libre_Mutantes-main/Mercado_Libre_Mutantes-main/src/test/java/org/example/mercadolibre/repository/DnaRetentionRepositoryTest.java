@@ -0,0 +1,111 @@
+package org.example.mercadolibre.repository;
+
+import org.example.mercadolibre.repository.DnaRetentionRepository.StoredRow;
+import org.example.mercadolibre.repository.DnaRetentionRepository.StoredSequence;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({DnaRetentionRepository.class, DnaUpsertRepository.class})
+class DnaRetentionRepositoryTest {
+
+    @Autowired
+    private DnaRetentionRepository retentionRepository;
+
+    @Autowired
+    private DnaUpsertRepository dnaUpsertRepository;
+
+    @Autowired
+    private DnaRepository dnaRepository;
+
+    private static Timestamp future() {
+        return Timestamp.valueOf(LocalDateTime.now().plusMinutes(1));
+    }
+
+    @Test
+    void testClearSequences_ShouldKeepRowsAndFreeSequences() {
+        // Arrange
+        dnaUpsertRepository.insertIfAbsent("hash-1", true, "[AAAA]");
+        dnaUpsertRepository.insertIfAbsent("hash-2", false, "[ATCGAT]");
+        assertEquals(14L, retentionRepository.getUsage().getSequenceChars());
+
+        // Act
+        List<StoredSequence> sequences = retentionRepository.findSequencesCreatedBefore(future(), 10);
+        int cleared = retentionRepository.clearSequences(sequences);
+
+        // Assert
+        assertEquals(2, cleared);
+        assertEquals(List.of(6L, 8L), sequences.stream().map(StoredSequence::getLength).toList());
+        assertEquals(2L, retentionRepository.getUsage().getRows());
+        assertEquals(0L, retentionRepository.getUsage().getSequenceChars());
+        assertTrue(retentionRepository.findSequencesCreatedBefore(future(), 10).isEmpty());
+    }
+
+    @Test
+    void testClearSequences_ThenResubmit_ShouldKeepStatsExact() {
+        // Arrange: 1 mutante y 1 humano compactados
+        dnaUpsertRepository.insertIfAbsent("hash-mutant", true, "[AAAA]");
+        dnaUpsertRepository.insertIfAbsent("hash-human", false, "[ATCG]");
+        retentionRepository.clearSequences(retentionRepository.findSequencesCreatedBefore(future(), 10));
+
+        // Act: se vuelve a enviar el mismo mutante
+        boolean inserted = dnaUpsertRepository.insertIfAbsent("hash-mutant", true, "[AAAA]").isInserted();
+
+        // Assert
+        assertFalse(inserted, "El hash se conserva, así que no se vuelve a contar");
+        assertEquals(1L, dnaRepository.countByIsMutant(true));
+        assertEquals(1L, dnaRepository.countByIsMutant(false));
+    }
+
+    @Test
+    void testDeleteAndFold_ShouldKeepStatsTotals() {
+        // Arrange: 1 mutante y 1 humano
+        dnaUpsertRepository.insertIfAbsent("hash-mutant", true, "[AAAA]");
+        dnaUpsertRepository.insertIfAbsent("hash-human", false, "[ATCG]");
+
+        // Act: se eliminan ambas filas en dos compactaciones
+        List<StoredRow> oldest = retentionRepository.findOldestRows(1);
+        int firstDeleted = retentionRepository.deleteAndFold(oldest);
+        int secondDeleted = retentionRepository.deleteAndFold(retentionRepository.findOldestRows(1));
+
+        // Assert
+        assertEquals(1, firstDeleted);
+        assertEquals(1, secondDeleted);
+        assertTrue(oldest.get(0).isMutant());
+        assertEquals(0L, retentionRepository.getUsage().getRows());
+        assertEquals(1L, dnaRepository.countTotalByIsMutant(true));
+        assertEquals(1L, dnaRepository.countTotalByIsMutant(false));
+    }
+
+    @Test
+    void testDeleteAndFold_ThenResubmit_ShouldCountAgain() {
+        // Arrange: el mutante se elimina por max-rows / row-ttl-seconds
+        dnaUpsertRepository.insertIfAbsent("hash-mutant", true, "[AAAA]");
+        retentionRepository.deleteAndFold(retentionRepository.findRowsCreatedBefore(future(), 10));
+
+        // Act: se vuelve a enviar el mismo mutante
+        boolean inserted = dnaUpsertRepository.insertIfAbsent("hash-mutant", true, "[AAAA]").isInserted();
+
+        // Assert: comportamiento documentado de la eliminación de filas
+        assertTrue(inserted, "El hash ya no existe, así que se cuenta de nuevo");
+        assertEquals(2L, dnaRepository.countTotalByIsMutant(true));
+    }
+
+    @Test
+    void testFindSequencesCreatedBefore_ShouldRespectCutoffAndLimit() {
+        dnaUpsertRepository.insertIfAbsent("hash-a", true, "[AAAA]");
+        dnaUpsertRepository.insertIfAbsent("hash-b", true, "[CCCC]");
+
+        Timestamp past = Timestamp.valueOf(LocalDateTime.now().minusMinutes(1));
+        assertTrue(retentionRepository.findSequencesCreatedBefore(past, 10).isEmpty());
+        assertEquals(1, retentionRepository.findSequencesCreatedBefore(future(), 1).size());
+    }
+}
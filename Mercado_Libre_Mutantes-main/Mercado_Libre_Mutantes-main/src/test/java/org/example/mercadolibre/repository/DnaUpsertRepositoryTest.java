@@ -0,0 +1,74 @@
+package org.example.mercadolibre.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import(DnaUpsertRepository.class)
+class DnaUpsertRepositoryTest {
+
+    @Autowired
+    private DnaUpsertRepository dnaUpsertRepository;
+
+    @Autowired
+    private DnaRepository dnaRepository;
+
+    @Test
+    void testInsertIfAbsent_WithNewHash_ShouldInsertRow() {
+        var result = dnaUpsertRepository.insertIfAbsent("hash-new", true, "[AAAA]");
+
+        assertTrue(result.isInserted());
+        assertTrue(result.isMutant());
+        var stored = dnaRepository.findByDnaHash("hash-new");
+        assertTrue(stored.isPresent());
+        assertTrue(stored.get().isMutant());
+        assertEquals("[AAAA]", stored.get().getDnaSequence());
+        assertNotNull(stored.get().getCreatedAt());
+    }
+
+    @Test
+    void testInsertIfAbsent_WithExistingHash_ShouldReturnStoredVerdict() {
+        assertTrue(dnaUpsertRepository.insertIfAbsent("hash-dup", false, "[ATCG]").isInserted());
+
+        // Un veredicto distinto no reemplaza al almacenado
+        var result = dnaUpsertRepository.insertIfAbsent("hash-dup", true, "[ATCG]");
+
+        assertFalse(result.isInserted());
+        assertFalse(result.isMutant());
+        assertEquals(1L, dnaRepository.count());
+        assertEquals(1L, dnaRepository.countByIsMutant(false));
+    }
+
+    @Test
+    void testInsertIfAbsent_WithConcurrentDuplicateKey_ShouldReturnStoredVerdict() {
+        // Arrange: el MERGE pierde la carrera contra otro request con el mismo hash
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any()))
+                .thenThrow(new DuplicateKeyException("dna_hash duplicado"));
+        when(jdbcTemplate.queryForList(anyString(), eq(Boolean.class), eq("hash-race")))
+                .thenReturn(List.of(true));
+        DnaUpsertRepository repository = new DnaUpsertRepository();
+        ReflectionTestUtils.setField(repository, "jdbcTemplate", jdbcTemplate);
+
+        // Act
+        var result = repository.insertIfAbsent("hash-race", false, "[ATCG]");
+
+        // Assert
+        assertFalse(result.isInserted());
+        assertTrue(result.isMutant());
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.mercadolibre.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaCanonicalizerTest {
+
+    private final MutantService mutantService = new MutantService();
+
+    private static final String[] MUTANT_DNA = {
+        "ATGCGA",
+        "CAGTGC",
+        "TTATGT",
+        "AGAAGG",
+        "CCCCTA",
+        "TCACTG"
+    };
+
+    private static final String[] HUMAN_DNA = {
+        "ATGCGA",
+        "CAGTGC",
+        "TTATTT",
+        "AGACGG",
+        "GCGTCA",
+        "TCACTG"
+    };
+
+    @Test
+    void testCanonicalKey_WithAllSymmetries_ShouldBeEqual() {
+        String expected = DnaCanonicalizer.canonicalKey(MUTANT_DNA);
+
+        for (String[] variant : symmetries(MUTANT_DNA)) {
+            assertEquals(expected, DnaCanonicalizer.canonicalKey(variant),
+                "Todas las simetrías deberían compartir la clave canónica");
+        }
+    }
+
+    @Test
+    void testCanonicalKey_ShouldBeSmallestReading() {
+        String expected = null;
+        for (String[] variant : symmetries(HUMAN_DNA)) {
+            String reading = String.join("", variant);
+            if (expected == null || reading.compareTo(expected) < 0) {
+                expected = reading;
+            }
+        }
+
+        assertEquals(expected, DnaCanonicalizer.canonicalKey(HUMAN_DNA));
+    }
+
+    @Test
+    void testCanonicalKey_WithDifferentDna_ShouldDiffer() {
+        assertNotEquals(DnaCanonicalizer.canonicalKey(MUTANT_DNA), DnaCanonicalizer.canonicalKey(HUMAN_DNA));
+    }
+
+    @Test
+    void testCanonicalKey_WithNonSquareMatrix_ShouldReturnRawRows() {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTAT", "AGAAGG", "CCCCTA", "TCACTG"};
+        assertEquals(String.join("", dna), DnaCanonicalizer.canonicalKey(dna));
+    }
+
+    @Test
+    void testIsMutant_WithAllSymmetries_ShouldKeepVerdict() {
+        for (String[] variant : symmetries(MUTANT_DNA)) {
+            assertTrue(mutantService.isMutant(variant), "El veredicto no debería cambiar con la simetría");
+        }
+        for (String[] variant : symmetries(HUMAN_DNA)) {
+            assertFalse(mutantService.isMutant(variant), "El veredicto no debería cambiar con la simetría");
+        }
+    }
+
+    /**
+     * Construye explícitamente las 8 simetrías: 4 rotaciones y sus transpuestas
+     */
+    private static String[][] symmetries(String[] dna) {
+        String[][] result = new String[8][];
+        String[] current = dna;
+        for (int r = 0; r < 4; r++) {
+            result[2 * r] = current;
+            result[2 * r + 1] = transpose(current);
+            current = rotate(current);
+        }
+        return result;
+    }
+
+    private static String[] rotate(String[] dna) {
+        int n = dna.length;
+        String[] rotated = new String[n];
+        for (int i = 0; i < n; i++) {
+            StringBuilder row = new StringBuilder();
+            for (int j = 0; j < n; j++) {
+                row.append(dna[n - 1 - j].charAt(i));
+            }
+            rotated[i] = row.toString();
+        }
+        return rotated;
+    }
+
+    private static String[] transpose(String[] dna) {
+        int n = dna.length;
+        String[] transposed = new String[n];
+        for (int i = 0; i < n; i++) {
+            StringBuilder row = new StringBuilder();
+            for (int j = 0; j < n; j++) {
+                row.append(dna[j].charAt(i));
+            }
+            transposed[i] = row.toString();
+        }
+        return transposed;
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.mercadolibre.service;
+
+import org.example.mercadolibre.repository.DnaRetentionRepository;
+import org.example.mercadolibre.repository.DnaRetentionRepository.StoredRow;
+import org.example.mercadolibre.repository.DnaRetentionRepository.StoredSequence;
+import org.example.mercadolibre.repository.DnaRetentionRepository.Usage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DnaRetentionServiceTest {
+
+    @Mock
+    private DnaRetentionRepository retentionRepository;
+
+    @InjectMocks
+    private DnaRetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(retentionService, "batchSize", 2);
+    }
+
+    @Test
+    void testCompact_WithNoLimits_ShouldNotTouchRecords() {
+        // Act
+        DnaRetentionService.Result result = retentionService.compact();
+
+        // Assert
+        assertEquals(0, result.getRowsDeleted());
+        assertEquals(0, result.getSequencesCleared());
+        verifyNoInteractions(retentionRepository);
+    }
+
+    @Test
+    void testCompact_WithExpiredSequences_ShouldClearUntilNoneLeft() {
+        // Arrange
+        ReflectionTestUtils.setField(retentionService, "sequenceTtlSeconds", 60L);
+        List<StoredSequence> expired = List.of(new StoredSequence(1, 40), new StoredSequence(2, 40));
+
+        when(retentionRepository.findSequencesCreatedBefore(any(), anyInt()))
+                .thenReturn(expired, Collections.emptyList());
+        when(retentionRepository.clearSequences(expired)).thenReturn(2);
+
+        // Act
+        DnaRetentionService.Result result = retentionService.compact();
+
+        // Assert
+        assertEquals(2, result.getSequencesCleared());
+    }
+
+    @Test
+    void testCompact_OverMaxBytes_ShouldClearOldestSequencesUntilUnderLimit() {
+        // Arrange: 2 filas con 100 caracteres cada una; al descartar el primer lote queda bajo el máximo
+        long rowBytes = DnaRetentionService.ROW_OVERHEAD_BYTES;
+        ReflectionTestUtils.setField(retentionService, "maxBytes", 2 * rowBytes + 200);
+        List<StoredSequence> oldest = List.of(new StoredSequence(1, 100), new StoredSequence(2, 100));
+
+        when(retentionRepository.getUsage()).thenReturn(new Usage(2, 200));
+        when(retentionRepository.findSequencesCreatedBefore(any(), anyInt())).thenReturn(oldest);
+        when(retentionRepository.clearSequences(oldest)).thenReturn(2);
+
+        // Act
+        DnaRetentionService.Result result = retentionService.compact();
+
+        // Assert
+        assertEquals(2, result.getSequencesCleared());
+        verify(retentionRepository, times(1)).clearSequences(anyList());
+    }
+
+    @Test
+    void testCompact_OverMaxBytesWithoutSequences_ShouldStopWithoutDeletingRows() {
+        // Arrange: solo quedan hash y veredicto y max-rows está desactivado
+        ReflectionTestUtils.setField(retentionService, "maxBytes", 1L);
+
+        when(retentionRepository.getUsage()).thenReturn(new Usage(4, 0));
+        when(retentionRepository.findSequencesCreatedBefore(any(), anyInt())).thenReturn(Collections.emptyList());
+
+        // Act
+        DnaRetentionService.Result result = retentionService.compact();
+
+        // Assert
+        assertEquals(0, result.getSequencesCleared());
+        verify(retentionRepository, never()).clearSequences(anyList());
+        verify(retentionRepository, never()).deleteAndFold(anyList());
+    }
+
+    @Test
+    void testCompact_OverMaxRows_ShouldDeleteOnlyTheExcess() {
+        // Arrange: 5 filas con máximo 2; se eliminan 3 en lotes de 2 y 1
+        ReflectionTestUtils.setField(retentionService, "maxRows", 2L);
+        List<StoredRow> firstBatch = List.of(new StoredRow(1, true), new StoredRow(2, false));
+        List<StoredRow> secondBatch = List.of(new StoredRow(3, true));
+
+        when(retentionRepository.getUsage()).thenReturn(new Usage(5, 0));
+        when(retentionRepository.findOldestRows(2)).thenReturn(firstBatch);
+        when(retentionRepository.findOldestRows(1)).thenReturn(secondBatch);
+        when(retentionRepository.deleteAndFold(firstBatch)).thenReturn(2);
+        when(retentionRepository.deleteAndFold(secondBatch)).thenReturn(1);
+
+        // Act
+        DnaRetentionService.Result result = retentionService.compact();
+
+        // Assert
+        assertEquals(3, result.getRowsDeleted());
+        verify(retentionRepository, times(2)).deleteAndFold(anyList());
+    }
+
+    @Test
+    void testCompact_WithExpiredRows_ShouldDeleteUntilNoneLeft() {
+        // Arrange
+        ReflectionTestUtils.setField(retentionService, "rowTtlSeconds", 60L);
+        List<StoredRow> expired = List.of(new StoredRow(1, true), new StoredRow(2, false));
+
+        when(retentionRepository.findRowsCreatedBefore(any(), anyInt()))
+                .thenReturn(expired, Collections.emptyList());
+        when(retentionRepository.deleteAndFold(expired)).thenReturn(2);
+
+        // Act
+        DnaRetentionService.Result result = retentionService.compact();
+
+        // Assert
+        assertEquals(2, result.getRowsDeleted());
+        assertEquals(0, result.getSequencesCleared());
+    }
+}
@@ -1,19 +1,22 @@
 package org.example.mercadolibre.service;
 
-import org.example.mercadolibre.entity.Dna;
 import org.example.mercadolibre.repository.DnaRepository;
+import org.example.mercadolibre.repository.DnaUpsertRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
-import java.util.Optional;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +25,12 @@ class MutantServiceTest {
     @Mock
     private DnaRepository dnaRepository;
 
+    @Mock
+    private DnaUpsertRepository dnaUpsertRepository;
+
+    @Spy
+    private VerdictCache verdictCache = new VerdictCache(100);
+
     @InjectMocks
     private MutantService mutantService;
 
@@ -175,15 +184,16 @@ class MutantServiceTest {
             "TCACTG"
         };
 
-        when(dnaRepository.findByDnaHash(anyString())).thenReturn(Optional.empty());
-        when(dnaRepository.save(any(Dna.class))).thenAnswer(i -> i.getArguments()[0]);
+        when(dnaUpsertRepository.insertIfAbsent(anyString(), eq(true), anyString()))
+                .thenReturn(new DnaUpsertRepository.UpsertResult(true, true));
 
         // Act
         boolean result = mutantService.analyzeDna(dna);
 
         // Assert
         assertTrue(result);
-        verify(dnaRepository, times(1)).save(any(Dna.class));
+        verify(dnaUpsertRepository, times(1)).insertIfAbsent(anyString(), eq(true), anyString());
+        assertEquals(1L, mutantService.getStatsVersion(), "Un ADN nuevo debería avanzar la versión");
     }
 
     @Test
@@ -198,22 +208,188 @@ class MutantServiceTest {
             "TCACTG"
         };
 
-        Dna existingDna = new Dna("hash123", true, "dna");
-        when(dnaRepository.findByDnaHash(anyString())).thenReturn(Optional.of(existingDna));
+        when(dnaUpsertRepository.insertIfAbsent(anyString(), eq(true), anyString()))
+                .thenReturn(new DnaUpsertRepository.UpsertResult(false, true));
 
         // Act
         boolean result = mutantService.analyzeDna(dna);
 
         // Assert
         assertTrue(result);
-        verify(dnaRepository, never()).save(any(Dna.class));
+        verify(dnaUpsertRepository, times(1)).insertIfAbsent(anyString(), eq(true), anyString());
+    }
+
+    @Test
+    void testAnalyzeDna_WithStoredVerdict_ShouldReturnStoredVerdict() {
+        // Arrange: el hash ya estaba almacenado (p. ej. otro request concurrente) con otro veredicto
+        String[] dna = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATTT",
+            "AGACGG",
+            "GCGTCA",
+            "TCACTG"
+        };
+
+        when(dnaUpsertRepository.insertIfAbsent(anyString(), eq(false), anyString()))
+                .thenReturn(new DnaUpsertRepository.UpsertResult(false, true));
+
+        // Act
+        boolean result = mutantService.analyzeDna(dna);
+
+        // Assert
+        assertTrue(result, "Debería prevalecer el veredicto almacenado");
+        assertEquals(0L, mutantService.getStatsVersion(), "Sin inserción la versión no cambia");
+    }
+
+    @Test
+    void testAnalyzeDna_WithRepeatedDna_ShouldUseCacheWithoutScanOrDatabase() {
+        // Arrange
+        String[] dna = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATGT",
+            "AGAAGG",
+            "CCCCTA",
+            "TCACTG"
+        };
+        MutantService service = spy(mutantService);
+        when(dnaUpsertRepository.insertIfAbsent(anyString(), eq(true), anyString()))
+                .thenReturn(new DnaUpsertRepository.UpsertResult(true, true));
+
+        // Act
+        assertTrue(service.analyzeDna(dna));
+        assertTrue(service.analyzeDna(dna));
+
+        // Assert
+        verify(service, times(1)).hasMutantSequences(any());
+        verify(dnaUpsertRepository, times(1)).insertIfAbsent(anyString(), anyBoolean(), anyString());
+        assertEquals(1L, service.getVerdictHits());
+        assertEquals(1L, service.getVerdictMisses());
+    }
+
+    @Test
+    void testAnalyzeDna_WithSymmetricResubmission_ShouldSkipScan() {
+        // Arrange: el ADN y su rotación de 90°
+        String[] dna = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATGT",
+            "AGAAGG",
+            "CCCCTA",
+            "TCACTG"
+        };
+        String[] rotated = {
+            "TCATCA",
+            "CCGTAT",
+            "ACAAGG",
+            "CCATTC",
+            "TTGGGG",
+            "GAGTCA"
+        };
+        MutantService service = spy(mutantService);
+        when(dnaUpsertRepository.insertIfAbsent(anyString(), eq(true), anyString()))
+                .thenReturn(new DnaUpsertRepository.UpsertResult(true, true));
+
+        // Act
+        assertTrue(service.analyzeDna(dna));
+        assertTrue(service.analyzeDna(rotated));
+
+        // Assert: la simetría se resuelve desde la cache, sin análisis ni base
+        verify(service, times(1)).hasMutantSequences(any());
+        verify(dnaUpsertRepository, times(1)).insertIfAbsent(anyString(), anyBoolean(), anyString());
+        assertEquals(1L, service.getVerdictHits());
+    }
+
+    @Test
+    void testAnalyzeDna_WithInvalidDna_ShouldNotCanonicalize() {
+        String[] dna = {"ATGC", "ATGC", "ATG", "ATGC"};
+
+        try (var canonicalizer = mockStatic(DnaCanonicalizer.class)) {
+            assertThrows(IllegalArgumentException.class, () -> mutantService.analyzeDna(dna));
+            canonicalizer.verifyNoInteractions();
+        }
+        assertEquals(0L, mutantService.getVerdictMisses());
+    }
+
+    @Test
+    void testLogVerdictHitRate_WithAndWithoutAnalyses_ShouldNotFail() {
+        // Sin análisis no hay tasa que informar (evita dividir por cero)
+        assertDoesNotThrow(() -> mutantService.logVerdictHitRate());
+
+        String[] dna = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATGT",
+            "AGAAGG",
+            "CCCCTA",
+            "TCACTG"
+        };
+        when(dnaUpsertRepository.insertIfAbsent(anyString(), eq(true), anyString()))
+                .thenReturn(new DnaUpsertRepository.UpsertResult(true, true));
+        mutantService.analyzeDna(dna);
+        mutantService.analyzeDna(dna);
+
+        assertDoesNotThrow(() -> mutantService.logVerdictHitRate());
+        assertEquals(1L, mutantService.getVerdictHits());
+        assertEquals(1L, mutantService.getVerdictMisses());
+    }
+
+    @Test
+    void testAnalyzeDna_WithSymmetricDna_ShouldUseSameHash() {
+        // Arrange: el mismo ADN transpuesto
+        String[] dna = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATGT",
+            "AGAAGG",
+            "CCCCTA",
+            "TCACTG"
+        };
+        String[] transposed = {
+            "ACTACT",
+            "TATGCC",
+            "GGAACA",
+            "CTTACC",
+            "GGGGTT",
+            "ACTGAG"
+        };
+
+        ArgumentCaptor<String> hashes = ArgumentCaptor.forClass(String.class);
+        when(dnaUpsertRepository.insertIfAbsent(hashes.capture(), eq(true), anyString()))
+                .thenReturn(new DnaUpsertRepository.UpsertResult(true, true));
+
+        // Act: se vacía la cache entre envíos para que ambos lleguen a la base
+        mutantService.analyzeDna(dna);
+        verdictCache = new VerdictCache(100);
+        ReflectionTestUtils.setField(mutantService, "verdictCache", verdictCache);
+        mutantService.analyzeDna(transposed);
+
+        // Assert
+        assertEquals(hashes.getAllValues().get(0), hashes.getAllValues().get(1),
+            "Las simetrías deberían resolverse con el mismo hash");
+    }
+
+    @Test
+    void testAnalyzeDna_WithInvalidDna_ShouldNotTouchDatabase() {
+        String[] dna = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATXT",
+            "AGAAGG",
+            "CCCCTA",
+            "TCACTG"
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> mutantService.analyzeDna(dna));
+        verifyNoInteractions(dnaUpsertRepository);
     }
 
     @Test
     void testGetStats_ShouldReturnCorrectStatistics() {
         // Arrange
-        when(dnaRepository.countByIsMutant(true)).thenReturn(40L);
-        when(dnaRepository.countByIsMutant(false)).thenReturn(100L);
+        when(dnaRepository.countTotalByIsMutant(true)).thenReturn(40L);
+        when(dnaRepository.countTotalByIsMutant(false)).thenReturn(100L);
 
         // Act
         var stats = mutantService.getStats();
@@ -228,8 +404,8 @@ class MutantServiceTest {
     @Test
     void testGetStats_WithNoHumans_ShouldReturnZeroRatio() {
         // Arrange
-        when(dnaRepository.countByIsMutant(true)).thenReturn(10L);
-        when(dnaRepository.countByIsMutant(false)).thenReturn(0L);
+        when(dnaRepository.countTotalByIsMutant(true)).thenReturn(10L);
+        when(dnaRepository.countTotalByIsMutant(false)).thenReturn(0L);
 
         // Act
         var stats = mutantService.getStats();
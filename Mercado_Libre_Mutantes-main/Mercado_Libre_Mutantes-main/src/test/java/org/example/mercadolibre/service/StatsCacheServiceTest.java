@@ -0,0 +1,83 @@
+package org.example.mercadolibre.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.mercadolibre.dto.StatsResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsCacheServiceTest {
+
+    @Mock
+    private MutantService mutantService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private StatsCacheService statsCacheService;
+
+    @Test
+    void testGetSnapshot_ShouldSerializeStats() {
+        // Arrange
+        when(mutantService.getStatsVersion()).thenReturn(0L);
+        when(mutantService.getStats()).thenReturn(new StatsResponse(40L, 100L));
+
+        // Act
+        StatsSnapshot snapshot = statsCacheService.getSnapshot();
+
+        // Assert
+        assertTrue(snapshot.getBody().contains("\"count_mutant_dna\":40"));
+        assertTrue(snapshot.getBody().contains("\"count_human_dna\":100"));
+        assertTrue(snapshot.getEtag().startsWith("\"") && snapshot.getEtag().endsWith("-0\""));
+    }
+
+    @Test
+    void testGetSnapshot_WithSameVersion_ShouldNotRecompute() {
+        // Arrange
+        when(mutantService.getStatsVersion()).thenReturn(3L);
+        when(mutantService.getStats()).thenReturn(new StatsResponse(1L, 2L));
+
+        // Act
+        StatsSnapshot first = statsCacheService.getSnapshot();
+        StatsSnapshot second = statsCacheService.getSnapshot();
+
+        // Assert
+        assertSame(first, second);
+        verify(mutantService, times(1)).getStats();
+    }
+
+    @Test
+    void testGetSnapshot_WithNewVersion_ShouldRecompute() {
+        // Arrange
+        when(mutantService.getStatsVersion()).thenReturn(1L, 1L, 2L, 2L);
+        when(mutantService.getStats()).thenReturn(new StatsResponse(1L, 0L), new StatsResponse(2L, 0L));
+
+        // Act
+        StatsSnapshot first = statsCacheService.getSnapshot();
+        StatsSnapshot second = statsCacheService.getSnapshot();
+
+        // Assert
+        assertNotEquals(first.getEtag(), second.getEtag());
+        assertTrue(second.getBody().contains("\"count_mutant_dna\":2"));
+        verify(mutantService, times(2)).getStats();
+    }
+
+    @Test
+    void testSnapshotMatches_ShouldHandleIfNoneMatchValues() {
+        StatsSnapshot snapshot = new StatsSnapshot(5L, "\"abc-5\"", "{}", 0L);
+
+        assertTrue(snapshot.matches("\"abc-5\""));
+        assertTrue(snapshot.matches("\"abc-4\", W/\"abc-5\""));
+        assertTrue(snapshot.matches("*"));
+        assertFalse(snapshot.matches("\"abc-4\""));
+        assertFalse(snapshot.matches(null));
+    }
+}
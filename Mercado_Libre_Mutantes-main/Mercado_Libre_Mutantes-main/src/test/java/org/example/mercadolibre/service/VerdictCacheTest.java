@@ -0,0 +1,28 @@
+package org.example.mercadolibre.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerdictCacheTest {
+
+    @Test
+    void testGet_WithUnknownHash_ShouldReturnNull() {
+        VerdictCache cache = new VerdictCache(2);
+        assertNull(cache.get("hash"));
+    }
+
+    @Test
+    void testPut_OverMaxEntries_ShouldEvictLeastRecentlyUsed() {
+        VerdictCache cache = new VerdictCache(2);
+        cache.put("a", true);
+        cache.put("b", false);
+        cache.get("a");
+        cache.put("c", true);
+
+        assertEquals(2, cache.size());
+        assertEquals(Boolean.TRUE, cache.get("a"));
+        assertNull(cache.get("b"), "Debería desalojarse el menos usado");
+        assertEquals(Boolean.TRUE, cache.get("c"));
+    }
+}